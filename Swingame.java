@@ -3,11 +3,13 @@ import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
 import javax.swing.JFrame;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.*;
+import java.util.Arrays;
 
 /**
  * <b>SWINGAME</b><br>
@@ -20,10 +22,19 @@ public class Swingame {
     private final int width;
     private final int height;
     private final JFrame frame;
-    private final BufferedImage image;
-    private final Graphics2D g;
+    private volatile BufferedImage image;
+    private Graphics2D g;
     private JPanel panel;
     private int fps = 60;
+    private double resolutionScale = 1;
+    private volatile double targetResolutionScale = 1;
+    private double minResolutionScale = 0.5;
+    private double maxResolutionScale = 1;
+    private boolean adaptiveResolution;
+    private double averageFrameTime;
+    private int slowFrames;
+    private int fastFrames;
+    private volatile boolean smoothScaling;
     private Runnable update = () -> {};
     private boolean alive = true;
     private boolean[] pressedKeys = new boolean[256];
@@ -62,10 +73,20 @@ public class Swingame {
         frame.setDefaultCloseOperation(3);
         frame.getContentPane().setPreferredSize(new Dimension(width, height));
         frame.pack();
-        frame.setResizable(false);
         panel = new JPanel() {
             public void paint(Graphics g) {
-                g.drawImage(image, 0, 0, this);
+                BufferedImage image = Swingame.this.image;
+                Rectangle viewport = viewport();
+                if (viewport.x != 0 || viewport.y != 0 || viewport.width != getWidth() || viewport.height != getHeight()) {
+                    g.setColor(Color.BLACK);
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                }
+                if (image.getWidth() == viewport.width && image.getHeight() == viewport.height) {
+                    g.drawImage(image, viewport.x, viewport.y, this);
+                    return;
+                }
+                ((Graphics2D)g).setRenderingHint(RenderingHints.KEY_INTERPOLATION, smoothScaling ? RenderingHints.VALUE_INTERPOLATION_BILINEAR : RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+                g.drawImage(image, viewport.x, viewport.y, viewport.width, viewport.height, this);
             }
         };
         frame.add(panel);
@@ -86,8 +107,11 @@ public class Swingame {
                 mouseMoved(e);
             }
             public void mouseMoved(MouseEvent e) {
-                nextMouseX = e.getX();
-                nextMouseY = e.getY();
+                Point point = SwingUtilities.convertPoint(frame, e.getPoint(), panel);
+                Rectangle viewport = viewport();
+                if (viewport.width == 0 || viewport.height == 0) return;
+                nextMouseX = (int)Math.floor((point.x - viewport.x) * (double)width / viewport.width);
+                nextMouseY = (int)Math.floor((point.y - viewport.y) * (double)height / viewport.height);
             }
         });
         frame.addMouseWheelListener(e -> {
@@ -125,7 +149,10 @@ public class Swingame {
                     mouseY = nextMouseY;
                     mouseScroll = nextMouseScroll;
                     nextMouseScroll = 0;
+                    if (targetResolutionScale != resolutionScale) applyResolutionScale(targetResolutionScale);
+                    long frameStart = System.nanoTime();
                     update.run();
+                    if (adaptiveResolution) adaptResolution((System.nanoTime() - frameStart) / 1000000.0);
                     frame.repaint();
                 }
             }
@@ -158,6 +185,55 @@ public class Swingame {
     public void setUpdateRate(int rate) {
         fps = rate;
     }
+    /**
+     * Sets the resolution the game is rendered at relative to the size given in the constructor.
+     * Drawing coordinates stay the same, only the back buffer gets smaller or bigger. The change is applied before the next update.
+     * If adaptive resolution is enabled, the scale is moved into the range set by {@link #setResolutionScaleRange(double, double)}
+     * @param scale The resolution scale, 1 for full resolution, clamped between 0.05 and 4
+     */
+    public void setResolutionScale(double scale) {
+        targetResolutionScale = clampResolutionScale(scale);
+        if (adaptiveResolution) clampTargetResolutionScale();
+    }
+    /**
+     * Gets the resolution the game is currently rendered at relative to the size given in the constructor
+     * @return The resolution scale
+     */
+    public double getResolutionScale() {
+        return resolutionScale;
+    }
+    /**
+     * Enables or disables adaptive resolution. When enabled, the resolution scale is lowered when the update event takes longer
+     * than the time of one frame and raised again once there is enough time left, within the range set by {@link #setResolutionScaleRange(double, double)}
+     * @param adaptive <code>true</code> to enable adaptive resolution, <code>false</code> to disable it
+     */
+    public void setAdaptiveResolution(boolean adaptive) {
+        adaptiveResolution = adaptive;
+        if (adaptive) clampTargetResolutionScale();
+        averageFrameTime = 0;
+        slowFrames = 0;
+        fastFrames = 0;
+    }
+    /**
+     * Sets the lowest and highest resolution scale adaptive resolution is allowed to use.
+     * If adaptive resolution is enabled, the current resolution scale is moved into the range
+     * @param min The lowest resolution scale, clamped between 0.05 and 4
+     * @param max The highest resolution scale, clamped between 0.05 and 4
+     */
+    public void setResolutionScaleRange(double min, double max) {
+        min = clampResolutionScale(min);
+        max = clampResolutionScale(max);
+        minResolutionScale = Math.min(min, max);
+        maxResolutionScale = Math.max(min, max);
+        if (adaptiveResolution) clampTargetResolutionScale();
+    }
+    /**
+     * Sets whether the rendered image is scaled to the window with bilinear filtering or nearest neighbor filtering
+     * @param smooth <code>true</code> for bilinear filtering, <code>false</code> for nearest neighbor filtering
+     */
+    public void setSmoothScaling(boolean smooth) {
+        smoothScaling = smooth;
+    }
     /**
      * Assigns a {@link java.lang.Runnable} as an update event for the game
      * @param update The update event
@@ -383,14 +459,16 @@ public class Swingame {
         return justPressedKeys[keycode];
     }
     /**
-     * Gets the current X position of the mouse relative to the window
+     * Gets the current X position of the mouse in game coordinates, which use the width and height given in the constructor
+     * no matter how big the window is. Can be outside of that range when the mouse is over the black bars around the game
      * @return The X position
      */
     public int mouseX() {
         return mouseX;
     }
     /**
-     * Gets the current Y position of the mouse relative to the window
+     * Gets the current Y position of the mouse in game coordinates, which use the width and height given in the constructor
+     * no matter how big the window is. Can be outside of that range when the mouse is over the black bars around the game
      * @return The Y position
      */
     public int mouseY() {
@@ -445,6 +523,79 @@ public class Swingame {
     public int mouseScroll() {
         return mouseScroll;
     }
+    /**
+     * Finds the topmost object under the mouse, objects with higher IDs are considered to be on top
+     * @param hash The spatial hash containing the objects in game coordinates (the size given in the constructor)
+     * @return The ID of the object, -1 if there is no object under the mouse
+     */
+    public int pickAtMouse(SpatialHash hash) {
+        return hash.topmostAt(mouseX, mouseY);
+    }
+    private Rectangle viewport() {
+        int panelWidth = panel.getWidth();
+        int panelHeight = panel.getHeight();
+        double scale = Math.min(panelWidth / (double)width, panelHeight / (double)height);
+        int viewportWidth = (int)Math.round(width * scale);
+        int viewportHeight = (int)Math.round(height * scale);
+        return new Rectangle((panelWidth - viewportWidth) / 2, (panelHeight - viewportHeight) / 2, viewportWidth, viewportHeight);
+    }
+    private static double clampResolutionScale(double scale) {
+        if (!Double.isFinite(scale)) throw new IllegalArgumentException("Resolution scale must be a finite number");
+        return Math.max(0.05, Math.min(4, scale));
+    }
+    private void clampTargetResolutionScale() {
+        targetResolutionScale = Math.max(minResolutionScale, Math.min(maxResolutionScale, targetResolutionScale));
+    }
+    private void adaptResolution(double frameTime) {
+        double budget = 1000.0 / fps;
+        averageFrameTime = averageFrameTime == 0 ? frameTime : averageFrameTime * 0.9 + frameTime * 0.1;
+        if (averageFrameTime > budget * 0.9) {
+            slowFrames++;
+            fastFrames = 0;
+        }
+        else if (averageFrameTime < budget * 0.6) {
+            fastFrames++;
+            slowFrames = 0;
+        }
+        else {
+            slowFrames = 0;
+            fastFrames = 0;
+        }
+        if (slowFrames >= 10 && resolutionScale > minResolutionScale) {
+            targetResolutionScale = Math.max(minResolutionScale, resolutionScale - 0.1);
+            slowFrames = 0;
+        }
+        if (fastFrames >= 60 && resolutionScale < maxResolutionScale) {
+            targetResolutionScale = Math.min(maxResolutionScale, resolutionScale + 0.1);
+            fastFrames = 0;
+        }
+    }
+    private void applyResolutionScale(double scale) {
+        BufferedImage oldImage = image;
+        Graphics2D oldG = g;
+        int imageWidth = Math.max(1, (int)Math.round(width * scale));
+        int imageHeight = Math.max(1, (int)Math.round(height * scale));
+        BufferedImage newImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D newG = newImage.createGraphics();
+        newG.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        newG.drawImage(oldImage, 0, 0, imageWidth, imageHeight, null);
+        AffineTransform transform = AffineTransform.getScaleInstance(width / (double)oldImage.getWidth(), height / (double)oldImage.getHeight());
+        transform.concatenate(oldG.getTransform());
+        newG.setRenderingHints(oldG.getRenderingHints());
+        newG.scale(imageWidth / (double)width, imageHeight / (double)height);
+        newG.transform(transform);
+        newG.setStroke(oldG.getStroke());
+        newG.setFont(oldG.getFont());
+        newG.setColor(oldG.getColor());
+        newG.setClip(null);
+        g = newG;
+        image = newImage;
+        resolutionScale = scale;
+        averageFrameTime = 0;
+        slowFrames = 0;
+        fastFrames = 0;
+        oldG.dispose();
+    }
     /**
      * Reads the entire file and returns the bytes
      * @param file The file
@@ -681,4 +832,370 @@ public class Swingame {
             throw new RuntimeException(e);
         }
     }
+    /**
+     * A uniform grid of axis aligned boxes identified by integer IDs, used for collision detection and picking objects
+     * without checking every object against every other object. The cell size should be around the size of a typical object.
+     * To pick objects with the mouse, store them in game coordinates (the size given in the constructor).
+     * IDs are used as indices into arrays, so they should be small and dense, for example indices into a list of objects
+     */
+    public static class SpatialHash {
+        private final int cellSize;
+        private int[] bucketHeads;
+        private int[] minX = new int[0];
+        private int[] minY = new int[0];
+        private int[] maxX = new int[0];
+        private int[] maxY = new int[0];
+        private int[] cellMinX = new int[0];
+        private int[] cellMinY = new int[0];
+        private int[] cellMaxX = new int[0];
+        private int[] cellMaxY = new int[0];
+        private int[] firstEntry = new int[0];
+        private int[] stamps = new int[0];
+        private int stamp;
+        private int[] entryObject = new int[0];
+        private int[] entryCellX = new int[0];
+        private int[] entryCellY = new int[0];
+        private int[] entryNext = new int[0];
+        private int[] entryPrev = new int[0];
+        private int[] entryNextOfObject = new int[0];
+        private int entryCount;
+        private int freeEntry = -1;
+        private int pendingFreeEntry = -1;
+        private int iterations;
+        private int usedEntries;
+        private int size;
+        /**
+         * Constructs an empty spatial hash
+         * @param cellSize Width and height of a grid cell
+         */
+        public SpatialHash(int cellSize) {
+            this(cellSize, 1024);
+        }
+        /**
+         * Constructs an empty spatial hash
+         * @param cellSize Width and height of a grid cell
+         * @param buckets Initial amount of hash buckets, rounded up to a power of 2
+         */
+        public SpatialHash(int cellSize, int buckets) {
+            if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive");
+            this.cellSize = cellSize;
+            bucketHeads = new int[Integer.highestOneBit(Math.max(1, buckets - 1)) << 1];
+            Arrays.fill(bucketHeads, -1);
+        }
+        /**
+         * Adds an object to the spatial hash
+         * @param id ID of the object, must not be negative. Memory is allocated for every ID up to this one, so keep IDs small and dense
+         * @param x X position of the object
+         * @param y Y position of the object
+         * @param width Width of the object, must not be negative, 0 is treated as 1
+         * @param height Height of the object, must not be negative, 0 is treated as 1
+         */
+        public void insert(int id, int x, int y, int width, int height) {
+            if (id < 0) throw new IllegalArgumentException("ID must not be negative");
+            if (contains(id)) throw new IllegalArgumentException("Object " + id + " is already in the spatial hash");
+            if (width < 0 || height < 0) throw new IllegalArgumentException("Size must not be negative");
+            if (id >= firstEntry.length) growObjects(id + 1);
+            setBounds(id, x, y, width, height);
+            addEntries(id);
+            size++;
+        }
+        /**
+         * Updates the position and size of an object already in the spatial hash
+         * @param id ID of the object
+         * @param x X position of the object
+         * @param y Y position of the object
+         * @param width Width of the object, must not be negative, 0 is treated as 1
+         * @param height Height of the object, must not be negative, 0 is treated as 1
+         */
+        public void move(int id, int x, int y, int width, int height) {
+            if (!contains(id)) throw new IllegalArgumentException("Object " + id + " is not in the spatial hash");
+            if (width < 0 || height < 0) throw new IllegalArgumentException("Size must not be negative");
+            int oldMinX = cellMinX[id];
+            int oldMinY = cellMinY[id];
+            int oldMaxX = cellMaxX[id];
+            int oldMaxY = cellMaxY[id];
+            setBounds(id, x, y, width, height);
+            if (oldMinX == cellMinX[id] && oldMinY == cellMinY[id] && oldMaxX == cellMaxX[id] && oldMaxY == cellMaxY[id]) return;
+            removeEntries(id);
+            addEntries(id);
+        }
+        /**
+         * Removes an object from the spatial hash
+         * @param id ID of the object
+         * @return <code>true</code> if the object was removed, <code>false</code> if it wasn't in the spatial hash
+         */
+        public boolean remove(int id) {
+            if (!contains(id)) return false;
+            removeEntries(id);
+            size--;
+            return true;
+        }
+        /**
+         * Checks if an object is in the spatial hash
+         * @param id ID of the object
+         * @return <code>true</code> if the object is in the spatial hash, <code>false</code> if not
+         */
+        public boolean contains(int id) {
+            return id >= 0 && id < firstEntry.length && firstEntry[id] != -1;
+        }
+        /**
+         * Gets the amount of objects in the spatial hash
+         * @return The amount of objects
+         */
+        public int size() {
+            return size;
+        }
+        /**
+         * Removes every object from the spatial hash
+         */
+        public void clear() {
+            if (iterations > 0) throw new IllegalStateException("Cannot clear the spatial hash while iterating over pairs");
+            Arrays.fill(bucketHeads, -1);
+            Arrays.fill(firstEntry, -1);
+            entryCount = 0;
+            freeEntry = -1;
+            pendingFreeEntry = -1;
+            usedEntries = 0;
+            size = 0;
+        }
+        /**
+         * Finds every object overlapping a rectangle
+         * @param x X position of the rectangle
+         * @param y Y position of the rectangle
+         * @param width Width of the rectangle, 0 or less is treated as 1
+         * @param height Height of the rectangle, 0 or less is treated as 1
+         * @param out Array the IDs of the objects are written to, IDs that don't fit are left out
+         * @return The amount of objects found, can be larger than the length of <code>out</code>
+         */
+        public int query(int x, int y, int width, int height, int[] out) {
+            int queryMaxX = x + Math.max(1, width);
+            int queryMaxY = y + Math.max(1, height);
+            int fromX = Math.floorDiv(x, cellSize);
+            int fromY = Math.floorDiv(y, cellSize);
+            int toX = Math.floorDiv(queryMaxX - 1, cellSize);
+            int toY = Math.floorDiv(queryMaxY - 1, cellSize);
+            int queryStamp = nextStamp();
+            int count = 0;
+            if ((long)(toX - fromX + 1) * (toY - fromY + 1) > bucketHeads.length) {
+                for (int bucket = 0; bucket < bucketHeads.length; bucket++) {
+                    count = queryBucket(bucketHeads[bucket], x, y, queryMaxX, queryMaxY, queryStamp, out, count);
+                }
+                return count;
+            }
+            for (int cellY = fromY; cellY <= toY; cellY++) {
+                for (int cellX = fromX; cellX <= toX; cellX++) {
+                    count = queryBucket(bucketHeads[bucket(cellX, cellY)], x, y, queryMaxX, queryMaxY, queryStamp, out, count);
+                }
+            }
+            return count;
+        }
+        /**
+         * Finds every object containing a point
+         * @param x X position of the point
+         * @param y Y position of the point
+         * @param out Array the IDs of the objects are written to, IDs that don't fit are left out
+         * @return The amount of objects found, can be larger than the length of <code>out</code>
+         */
+        public int queryPoint(int x, int y, int[] out) {
+            int cellX = Math.floorDiv(x, cellSize);
+            int cellY = Math.floorDiv(y, cellSize);
+            int count = 0;
+            for (int entry = bucketHeads[bucket(cellX, cellY)]; entry != -1; entry = entryNext[entry]) {
+                int id = entryObject[entry];
+                if (entryCellX[entry] != cellX || entryCellY[entry] != cellY || !containsPoint(id, x, y)) continue;
+                if (count < out.length) out[count] = id;
+                count++;
+            }
+            return count;
+        }
+        /**
+         * Finds the topmost object containing a point, objects with higher IDs are considered to be on top
+         * @param x X position of the point
+         * @param y Y position of the point
+         * @return The ID of the object, -1 if there is no object containing the point
+         */
+        public int topmostAt(int x, int y) {
+            int cellX = Math.floorDiv(x, cellSize);
+            int cellY = Math.floorDiv(y, cellSize);
+            int topmost = -1;
+            for (int entry = bucketHeads[bucket(cellX, cellY)]; entry != -1; entry = entryNext[entry]) {
+                int id = entryObject[entry];
+                if (id > topmost && entryCellX[entry] == cellX && entryCellY[entry] == cellY && containsPoint(id, x, y)) topmost = id;
+            }
+            return topmost;
+        }
+        /**
+         * Calls a {@link PairConsumer} once for every pair of overlapping objects.
+         * The consumer may insert, move and remove objects. Removed objects aren't reported anymore,
+         * moved and inserted objects may or may not be reported at their new position
+         * @param consumer The consumer, receives the lower ID first
+         */
+        public void forEachPair(PairConsumer consumer) {
+            iterations++;
+            try {
+                for (int bucket = 0; bucket < bucketHeads.length; bucket++) {
+                    for (int first = bucketHeads[bucket]; first != -1; first = entryNext[first]) {
+                        int cellX = entryCellX[first];
+                        int cellY = entryCellY[first];
+                        int a = entryObject[first];
+                        if (a == -1) continue;
+                        for (int second = entryNext[first]; second != -1 && entryObject[first] == a; second = entryNext[second]) {
+                            int b = entryObject[second];
+                            if (b == -1 || entryCellX[second] != cellX || entryCellY[second] != cellY) continue;
+                            if (!overlaps(a, minX[b], minY[b], maxX[b], maxY[b])) continue;
+                            // Only report the pair in the cell containing the top left corner of the overlap, so it is reported once
+                            if (Math.floorDiv(Math.max(minX[a], minX[b]), cellSize) != cellX || Math.floorDiv(Math.max(minY[a], minY[b]), cellSize) != cellY) continue;
+                            consumer.accept(Math.min(a, b), Math.max(a, b));
+                        }
+                    }
+                }
+            }
+            finally {
+                iterations--;
+                if (iterations == 0) {
+                    // Entries removed by the consumer may still be walked by the loops above, so they are only reused from now on
+                    while (pendingFreeEntry != -1) {
+                        int entry = pendingFreeEntry;
+                        pendingFreeEntry = entryNextOfObject[entry];
+                        entryNextOfObject[entry] = freeEntry;
+                        freeEntry = entry;
+                    }
+                    if (usedEntries > bucketHeads.length * 2) rehash(bucketHeads.length * 2);
+                }
+            }
+        }
+        private int queryBucket(int entry, int x, int y, int queryMaxX, int queryMaxY, int stamp, int[] out, int count) {
+            for (; entry != -1; entry = entryNext[entry]) {
+                int id = entryObject[entry];
+                if (stamps[id] == stamp || !overlaps(id, x, y, queryMaxX, queryMaxY)) continue;
+                stamps[id] = stamp;
+                if (count < out.length) out[count] = id;
+                count++;
+            }
+            return count;
+        }
+        private boolean overlaps(int id, int x1, int y1, int x2, int y2) {
+            return minX[id] < x2 && x1 < maxX[id] && minY[id] < y2 && y1 < maxY[id];
+        }
+        private boolean containsPoint(int id, int x, int y) {
+            return x >= minX[id] && x < maxX[id] && y >= minY[id] && y < maxY[id];
+        }
+        private int nextStamp() {
+            if (++stamp == 0) {
+                Arrays.fill(stamps, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+        private int bucket(int cellX, int cellY) {
+            int hash = cellX * 73856093 ^ cellY * 19349663;
+            return (hash ^ hash >>> 16) & (bucketHeads.length - 1);
+        }
+        private void setBounds(int id, int x, int y, int width, int height) {
+            minX[id] = x;
+            minY[id] = y;
+            maxX[id] = x + Math.max(1, width);
+            maxY[id] = y + Math.max(1, height);
+            cellMinX[id] = Math.floorDiv(minX[id], cellSize);
+            cellMinY[id] = Math.floorDiv(minY[id], cellSize);
+            cellMaxX[id] = Math.floorDiv(maxX[id] - 1, cellSize);
+            cellMaxY[id] = Math.floorDiv(maxY[id] - 1, cellSize);
+        }
+        private void addEntries(int id) {
+            for (int cellY = cellMinY[id]; cellY <= cellMaxY[id]; cellY++) {
+                for (int cellX = cellMinX[id]; cellX <= cellMaxX[id]; cellX++) {
+                    int entry = allocateEntry();
+                    entryObject[entry] = id;
+                    entryCellX[entry] = cellX;
+                    entryCellY[entry] = cellY;
+                    entryNextOfObject[entry] = firstEntry[id];
+                    firstEntry[id] = entry;
+                    linkEntry(entry);
+                }
+            }
+            if (usedEntries > bucketHeads.length * 2 && iterations == 0) rehash(bucketHeads.length * 2);
+        }
+        private void removeEntries(int id) {
+            int entry = firstEntry[id];
+            while (entry != -1) {
+                int next = entryNextOfObject[entry];
+                int prev = entryPrev[entry];
+                if (prev == -1) bucketHeads[bucket(entryCellX[entry], entryCellY[entry])] = entryNext[entry];
+                else entryNext[prev] = entryNext[entry];
+                if (entryNext[entry] != -1) entryPrev[entryNext[entry]] = prev;
+                entryObject[entry] = -1;
+                if (iterations > 0) {
+                    entryNextOfObject[entry] = pendingFreeEntry;
+                    pendingFreeEntry = entry;
+                }
+                else {
+                    entryNextOfObject[entry] = freeEntry;
+                    freeEntry = entry;
+                }
+                usedEntries--;
+                entry = next;
+            }
+            firstEntry[id] = -1;
+        }
+        private void linkEntry(int entry) {
+            int bucket = bucket(entryCellX[entry], entryCellY[entry]);
+            entryPrev[entry] = -1;
+            entryNext[entry] = bucketHeads[bucket];
+            if (bucketHeads[bucket] != -1) entryPrev[bucketHeads[bucket]] = entry;
+            bucketHeads[bucket] = entry;
+        }
+        private int allocateEntry() {
+            usedEntries++;
+            if (freeEntry != -1) {
+                int entry = freeEntry;
+                freeEntry = entryNextOfObject[entry];
+                return entry;
+            }
+            if (entryCount == entryObject.length) {
+                int capacity = Math.max(16, entryCount * 2);
+                entryObject = Arrays.copyOf(entryObject, capacity);
+                entryCellX = Arrays.copyOf(entryCellX, capacity);
+                entryCellY = Arrays.copyOf(entryCellY, capacity);
+                entryNext = Arrays.copyOf(entryNext, capacity);
+                entryPrev = Arrays.copyOf(entryPrev, capacity);
+                entryNextOfObject = Arrays.copyOf(entryNextOfObject, capacity);
+            }
+            return entryCount++;
+        }
+        private void rehash(int buckets) {
+            bucketHeads = new int[buckets];
+            Arrays.fill(bucketHeads, -1);
+            for (int id = 0; id < firstEntry.length; id++) {
+                for (int entry = firstEntry[id]; entry != -1; entry = entryNextOfObject[entry]) {
+                    linkEntry(entry);
+                }
+            }
+        }
+        private void growObjects(int minCapacity) {
+            int oldCapacity = firstEntry.length;
+            int capacity = Math.max(minCapacity, Math.max(16, oldCapacity * 2));
+            minX = Arrays.copyOf(minX, capacity);
+            minY = Arrays.copyOf(minY, capacity);
+            maxX = Arrays.copyOf(maxX, capacity);
+            maxY = Arrays.copyOf(maxY, capacity);
+            cellMinX = Arrays.copyOf(cellMinX, capacity);
+            cellMinY = Arrays.copyOf(cellMinY, capacity);
+            cellMaxX = Arrays.copyOf(cellMaxX, capacity);
+            cellMaxY = Arrays.copyOf(cellMaxY, capacity);
+            stamps = Arrays.copyOf(stamps, capacity);
+            firstEntry = Arrays.copyOf(firstEntry, capacity);
+            Arrays.fill(firstEntry, oldCapacity, capacity, -1);
+        }
+        /**
+         * Receives pairs of overlapping objects from {@link SpatialHash#forEachPair(PairConsumer)}
+         */
+        public interface PairConsumer {
+            /**
+             * Called for a pair of overlapping objects
+             * @param a ID of the first object
+             * @param b ID of the second object
+             */
+            void accept(int a, int b);
+        }
+    }
 }
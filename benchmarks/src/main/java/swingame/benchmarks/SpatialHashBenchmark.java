@@ -0,0 +1,159 @@
+package swingame.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import swingame.Swingame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Swingame.SpatialHash} to checking every object, at 1k, 10k and 100k objects.
+ * Objects are 1 to 40 pixels big and spread over an area that grows with the amount of objects, so the density stays the same
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpatialHashBenchmark {
+    private static final int CELL_SIZE = 32;
+    private static final int MAX_SIZE = 40;
+    private static final int QUERIES = 1024;
+    @Param({"1000", "10000", "100000"})
+    private int objects;
+    private int[] x;
+    private int[] y;
+    private int[] movedX;
+    private int[] movedY;
+    private int[] width;
+    private int[] height;
+    private int[] queryX;
+    private int[] queryY;
+    private int[] out;
+    private int query;
+    private boolean moved;
+    private Swingame.SpatialHash hash;
+    private int[] bruteX;
+    private int[] bruteY;
+    private int[] bruteWidth;
+    private int[] bruteHeight;
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        int world = (int)Math.sqrt(objects) * MAX_SIZE;
+        x = new int[objects];
+        y = new int[objects];
+        movedX = new int[objects];
+        movedY = new int[objects];
+        width = new int[objects];
+        height = new int[objects];
+        for (int i = 0; i < objects; i++) {
+            x[i] = random.nextInt(world);
+            y[i] = random.nextInt(world);
+            movedX[i] = x[i] + random.nextInt(9) - 4;
+            movedY[i] = y[i] + random.nextInt(9) - 4;
+            width[i] = 1 + random.nextInt(MAX_SIZE);
+            height[i] = 1 + random.nextInt(MAX_SIZE);
+        }
+        queryX = new int[QUERIES];
+        queryY = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = random.nextInt(world);
+            queryY[i] = random.nextInt(world);
+        }
+        out = new int[objects];
+        hash = new Swingame.SpatialHash(CELL_SIZE);
+        for (int i = 0; i < objects; i++) {
+            hash.insert(i, x[i], y[i], width[i], height[i]);
+        }
+        bruteX = x.clone();
+        bruteY = y.clone();
+        bruteWidth = width.clone();
+        bruteHeight = height.clone();
+    }
+    @Benchmark
+    public Swingame.SpatialHash insertHash() {
+        Swingame.SpatialHash hash = new Swingame.SpatialHash(CELL_SIZE);
+        for (int i = 0; i < objects; i++) {
+            hash.insert(i, x[i], y[i], width[i], height[i]);
+        }
+        return hash;
+    }
+    @Benchmark
+    public int[][] insertBruteForce() {
+        int[][] boxes = new int[4][objects];
+        for (int i = 0; i < objects; i++) {
+            boxes[0][i] = x[i];
+            boxes[1][i] = y[i];
+            boxes[2][i] = width[i];
+            boxes[3][i] = height[i];
+        }
+        return boxes;
+    }
+    @Benchmark
+    public void moveHash() {
+        int[] toX = moved ? x : movedX;
+        int[] toY = moved ? y : movedY;
+        for (int i = 0; i < objects; i++) {
+            hash.move(i, toX[i], toY[i], width[i], height[i]);
+        }
+        moved = !moved;
+    }
+    @Benchmark
+    public void moveBruteForce() {
+        int[] toX = moved ? x : movedX;
+        int[] toY = moved ? y : movedY;
+        for (int i = 0; i < objects; i++) {
+            bruteX[i] = toX[i];
+            bruteY[i] = toY[i];
+            bruteWidth[i] = width[i];
+            bruteHeight[i] = height[i];
+        }
+        moved = !moved;
+    }
+    @Benchmark
+    public int queryHash() {
+        int i = query++ & (QUERIES - 1);
+        return hash.query(queryX[i], queryY[i], 100, 100, out);
+    }
+    @Benchmark
+    public int queryBruteForce() {
+        int i = query++ & (QUERIES - 1);
+        int left = queryX[i];
+        int top = queryY[i];
+        int count = 0;
+        for (int id = 0; id < objects; id++) {
+            if (bruteX[id] < left + 100 && left < bruteX[id] + bruteWidth[id] && bruteY[id] < top + 100 && top < bruteY[id] + bruteHeight[id]) out[count++] = id;
+        }
+        return count;
+    }
+    @Benchmark
+    public int topmostAtHash() {
+        int i = query++ & (QUERIES - 1);
+        return hash.topmostAt(queryX[i], queryY[i]);
+    }
+    @Benchmark
+    public int topmostAtBruteForce() {
+        int i = query++ & (QUERIES - 1);
+        int pointX = queryX[i];
+        int pointY = queryY[i];
+        for (int id = objects - 1; id >= 0; id--) {
+            if (pointX >= bruteX[id] && pointX < bruteX[id] + bruteWidth[id] && pointY >= bruteY[id] && pointY < bruteY[id] + bruteHeight[id]) return id;
+        }
+        return -1;
+    }
+    @Benchmark
+    public void forEachPairHash(Blackhole blackhole) {
+        hash.forEachPair((a, b) -> blackhole.consume(a + b));
+    }
+    @Benchmark
+    public void forEachPairBruteForce(Blackhole blackhole) {
+        for (int a = 0; a < objects; a++) {
+            for (int b = a + 1; b < objects; b++) {
+                if (bruteX[a] < bruteX[b] + bruteWidth[b] && bruteX[b] < bruteX[a] + bruteWidth[a] && bruteY[a] < bruteY[b] + bruteHeight[b] && bruteY[b] < bruteY[a] + bruteHeight[a]) blackhole.consume(a + b);
+            }
+        }
+    }
+}